@@ -29,4 +29,11 @@ CREATE TABLE transactions (
     tx_type VARCHAR2(20),
     amount NUMBER(12,2),
     timestamp TIMESTAMP
-);
\ No newline at end of file
+);
+
+-- Resume point for bulk account loads (bank.AccountBulkLoader), updated in the same commit as each batch
+CREATE TABLE bulk_load_progress (
+    job_id VARCHAR2(200) PRIMARY KEY,
+    rows_done NUMBER(19) NOT NULL,
+    updated_at TIMESTAMP
+);
@@ -0,0 +1,107 @@
+import bank.AccountExecutor;
+import bank.BankConnector;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Compares a global lock with AccountExecutor (striped locks + per-card batching).
+// The "database" is a pool of connection permits: every round trip holds a permit for a fixed
+// delay, and a batch costs what RealBankServer.applyBatch issues (balance read if it has a
+// withdrawal, one UPDATE, one batched log INSERT, one commit). Pool size 1 is RealBankServer's default single
+// session, so distinct cards gain nothing there; the pooled run uses
+// BankConnector.suggestedPoolSize(), what a multi-threaded caller would pass as poolSize.
+//
+// Usage: java ContentionBenchmark [opsPerThread] [roundTripMicros]
+//   runs child JVMs with -XX:ActiveProcessorCount=1,2,4,8 and 2 threads per core. Core counts
+//   above the machine's real cores are oversubscribed and say so in the output.
+//        java ContentionBenchmark run <opsPerThread> <roundTripMicros>   one core count, this JVM
+public class ContentionBenchmark {
+    private static long roundTripNanos;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("run")) {
+            runAll(Integer.parseInt(args[1]), Long.parseLong(args[2]) * 1000);
+            return;
+        }
+
+        String ops = args.length > 0 ? args[0] : "500";
+        String micros = args.length > 1 ? args[1] : "50";
+        int realCores = Runtime.getRuntime().availableProcessors();
+        System.out.printf("%-6s %-8s %-9s %-14s %12s %12s%n", "cores", "threads", "cards", "mode", "ops/sec", "round trips");
+        for (int cores = 1; cores <= Math.max(realCores, 8); cores *= 2) {
+            if (cores > realCores) System.out.println("# " + cores + " cores simulated on " + realCores + " real");
+            String java = System.getProperty("java.home") + "/bin/java";
+            Process p = new ProcessBuilder(java, "-XX:ActiveProcessorCount=" + cores,
+                "-cp", System.getProperty("java.class.path"), "ContentionBenchmark", "run", ops, micros)
+                .inheritIO().start();
+            p.waitFor();
+        }
+    }
+
+    private static void runAll(int opsPerThread, long rtNanos) throws InterruptedException {
+        roundTripNanos = rtNanos;
+        int cores = Runtime.getRuntime().availableProcessors();
+        int threads = cores * 2;
+        int pool = BankConnector.suggestedPoolSize();
+        for (boolean hot : new boolean[]{true, false}) {
+            run(cores, threads, hot, false, 1, opsPerThread);
+            run(cores, threads, hot, true, 1, opsPerThread);
+            run(cores, threads, hot, true, pool, opsPerThread);
+        }
+    }
+
+    private static void run(int cores, int threads, boolean hot, boolean striped, int connections, int opsPerThread)
+            throws InterruptedException {
+        AtomicLong roundTrips = new AtomicLong();
+        Semaphore db = new Semaphore(connections, true);
+        Object globalLock = new Object();
+        AccountExecutor executor = new AccountExecutor((card, ops) -> {
+            boolean anyWithdraw = false;
+            for (AccountExecutor.Op op : ops) anyWithdraw |= op.getType() == AccountExecutor.Type.WITHDRAW;
+            dbCall((anyWithdraw ? 1 : 0) + 3, db, roundTrips);
+            for (AccountExecutor.Op op : ops) op.complete(true);
+        });
+
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            String card = hot ? "1111222233334444" : String.format("%016d", t);
+            workers[t] = new Thread(() -> {
+                try { start.await(); } catch (InterruptedException e) { return; }
+                for (int i = 0; i < opsPerThread; i++) {
+                    if (striped) {
+                        if (i % 2 == 0) executor.deposit(card, 100); else executor.withdraw(card, 100);
+                    } else {
+                        // old path: read balance (withdrawals only), update, log, all under one lock
+                        synchronized (globalLock) {
+                            dbCall(i % 2 == 0 ? 2 : 3, db, roundTrips);
+                        }
+                    }
+                }
+            });
+            workers[t].start();
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread w : workers) w.join();
+        double secs = (System.nanoTime() - begin) / 1e9;
+
+        long ops = (long) threads * opsPerThread;
+        String mode = striped ? "striped/" + connections + "conn" : "global/1conn";
+        System.out.printf("%-6d %-8d %-9s %-14s %12.0f %12d%n", cores, threads, hot ? "same" : "distinct",
+            mode, ops / secs, roundTrips.get());
+    }
+
+    // One connection is held for all round trips of a call, like a borrowed BankSession
+    private static void dbCall(int trips, Semaphore db, AtomicLong roundTrips) {
+        db.acquireUninterruptibly();
+        try {
+            for (int i = 0; i < trips; i++) LockSupport.parkNanos(roundTripNanos);
+            roundTrips.addAndGet(trips);
+        } finally {
+            db.release();
+        }
+    }
+}
@@ -5,7 +5,9 @@ import java.util.Scanner;
 public class Main {
     public static void main(String[] args) {
         Scanner sc = new Scanner(System.in);
-        ATM atm = new ATM(new BankProxy());
+        // Bank connection is opened in the background so the menu shows up immediately
+        ATM atm = new ATM(new BankProxy(true));
+        atm.warmUpInBackground(10000);
 
         while (true) {
             System.out.println("\n=== Welcome to Smart ATM ===");
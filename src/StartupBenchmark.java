@@ -0,0 +1,52 @@
+import atm.ATM;
+import bank.BankProxy;
+
+// Compares blocking startup with background startup. Each mode runs in its own JVM so neither
+// gets a driver or JIT already warmed by the other.
+// Usage: java StartupBenchmark [readyTimeoutMs]                  runs both modes in child JVMs
+//        java StartupBenchmark blocking|background [readyTimeoutMs]  runs one mode in this JVM
+public class StartupBenchmark {
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && (args[0].equals("blocking") || args[0].equals("background"))) {
+            long readyTimeoutMs = args.length > 1 ? Long.parseLong(args[1]) : 10000;
+            if (args[0].equals("blocking")) runBlocking();
+            else runBackground(readyTimeoutMs);
+            return;
+        }
+
+        String timeout = args.length > 0 ? args[0] : "10000";
+        for (String mode : new String[]{"background", "blocking"}) {
+            String java = System.getProperty("java.home") + "/bin/java";
+            Process p = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                "StartupBenchmark", mode, timeout).inheritIO().start();
+            p.waitFor();
+        }
+    }
+
+    // Constructor waits for driver load + connect + warm-up
+    private static void runBlocking() {
+        long start = System.nanoTime();
+        BankProxy bank = new BankProxy();
+        new ATM(bank);
+        long interactiveMs = (System.nanoTime() - start) / 1_000_000;
+        System.out.println("Blocking startup: interactive after " + interactiveMs + " ms, health=" + bank.getHealth());
+        bank.shutdown();
+    }
+
+    // ATM is interactive at once, chain warm-up and bank connection finish later
+    private static void runBackground(long readyTimeoutMs) throws InterruptedException {
+        long start = System.nanoTime();
+        BankProxy bank = new BankProxy(true);
+        ATM atm = new ATM(bank);
+        long interactiveMs = (System.nanoTime() - start) / 1_000_000;
+        atm.warmUpInBackground(10000).join();
+        long warmedMs = (System.nanoTime() - start) / 1_000_000;
+        boolean ready = bank.awaitReady(readyTimeoutMs);
+        long readyMs = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.println("Background startup: interactive after " + interactiveMs + " ms, chain warmed after " + warmedMs + " ms");
+        if (ready) System.out.println("Bank ready after " + readyMs + " ms");
+        else System.out.println("Bank not ready after " + readyMs + " ms, health=" + bank.getHealth() + ", last error: " + bank.getLastError());
+        bank.shutdown();
+    }
+}
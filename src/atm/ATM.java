@@ -13,11 +13,20 @@ public class ATM {
     private ATMState currentState;
     private BankProxy bankProxy;
     private TransactionHandler txChain;
+    private CashInventory cash;
 
     private String cardNumber;
 
     public ATM(BankProxy bankProxy) {
+        // 100 notes each of 500, 200 and 100; warn at 20 notes; 40 notes and 10000 per dispense
+        this(bankProxy, new CashInventory(new int[]{500, 200, 100}, new int[]{100, 100, 100}, 20, 40, 10000));
+    }
+
+    public ATM(BankProxy bankProxy, CashInventory cash) {
         this.bankProxy = bankProxy;
+        this.cash = cash;
+        cash.addListener((denomination, notesLeft) ->
+            System.out.println("Low cash: only " + notesLeft + " notes of " + denomination + " left"));
 
         idleState = new IdleState(this);
         cardInsertedState = new CardInsertedState(this);
@@ -32,7 +41,7 @@ public class ATM {
 
     private void setupTransactionChain() {
         FraudHandler fraud = new FraudHandler(bankProxy);
-        WithdrawHandler withdraw = new WithdrawHandler(bankProxy);
+        WithdrawHandler withdraw = new WithdrawHandler(bankProxy, cash);
         DepositHandler deposit = new DepositHandler(bankProxy);
         BalanceHandler balance = new BalanceHandler(bankProxy);
 
@@ -43,6 +52,23 @@ public class ATM {
         txChain = fraud;
     }
 
+    // Fall-through-only warm-up: sends a type no handler accepts, so every handler's type check
+    // and hand-off to the next handler gets JIT-compiled. The withdraw/deposit/balance bodies are
+    // not run, since they would hit the bank. Touches no account and prints nothing.
+    public void warmUp(int iterations) {
+        for (int i = 0; i < iterations; i++) {
+            txChain.handleTransaction("", "warmup", 0);
+        }
+    }
+
+    // Same warm-up on a daemon thread so it does not delay the menu
+    public Thread warmUpInBackground(int iterations) {
+        Thread t = new Thread(() -> warmUp(iterations), "atm-warmup");
+        t.setDaemon(true);
+        t.start();
+        return t;
+    }
+
     public void setState(ATMState state) { this.currentState = state; }
 
     public ATMState getIdleState() { return idleState; }
@@ -53,6 +79,11 @@ public class ATM {
 
     // --- UPDATED METHODS ---
     public boolean insertCard(String cardNumber) {
+        if (!bankProxy.isReady()) {
+            System.out.println("Bank connection not ready (" + bankProxy.getHealth() + "). Please try again shortly.");
+            currentState = idleState;
+            return false;
+        }
         if (!bankProxy.verifyCardExists(cardNumber)) {
             System.out.println("No such account exists.");
             currentState = idleState;
@@ -99,4 +130,5 @@ public class ATM {
 
     public BankProxy getBankProxy() { return bankProxy; }
     public String getCardNumber() { return cardNumber; }
+    public CashInventory getCashInventory() { return cash; }
 }
@@ -0,0 +1,127 @@
+package atm;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Notes held in this ATM's cassettes.
+// A withdrawal first reserves notes (so two sessions can never plan with the same notes),
+// then either commits the reservation once the bank debit succeeds or releases it.
+public class CashInventory {
+    public static class Reservation {
+        private final long amount;
+        private final int[] counts;
+        private boolean done;
+
+        private Reservation(long amount, int[] counts) {
+            this.amount = amount;
+            this.counts = counts;
+        }
+
+        public long getAmount() { return amount; }
+        public int[] getCounts() { return counts.clone(); }
+    }
+
+    private final DispensePlanner planner;
+    private final int[] denominations;   // same order as the planner, high to low
+    private final int[] stock;           // notes physically in the cassettes
+    private final int[] available;       // stock minus notes reserved by open withdrawals
+    private final int lowThreshold;
+    private final boolean[] lowReported;
+    private final List<CashInventoryListener> listeners = new CopyOnWriteArrayList<>();
+
+    public CashInventory(int[] denominations, int[] counts, int lowThreshold, int maxNotes, int maxAmount) {
+        this.planner = new DispensePlanner(denominations, maxNotes, maxAmount);
+        this.denominations = planner.getDenominations();
+        this.stock = new int[this.denominations.length];
+        this.available = new int[this.denominations.length];
+        for (int i = 0; i < denominations.length; i++) {
+            stock[indexOf(denominations[i])] += counts[i];
+            available[indexOf(denominations[i])] += counts[i];
+        }
+        this.lowThreshold = lowThreshold;
+        this.lowReported = new boolean[this.denominations.length];
+    }
+
+    public void addListener(CashInventoryListener listener) { listeners.add(listener); }
+
+    // Reserves notes for the amount, or returns null if the cassettes cannot pay it out
+    public Reservation reserve(long amount) {
+        int[] counts;
+        synchronized (this) {
+            counts = planner.plan(amount, available);
+            if (counts == null) return null;
+            for (int i = 0; i < counts.length; i++) available[i] -= counts[i];
+        }
+        return new Reservation(amount, counts);
+    }
+
+    // Notes were handed to the customer; only now do they leave the cassettes, so a declined
+    // withdrawal never raises a low-cash alarm
+    public void commit(Reservation r) {
+        synchronized (this) {
+            if (r.done) return;
+            r.done = true;
+            for (int i = 0; i < r.counts.length; i++) stock[i] -= r.counts[i];
+        }
+        fireLowCash();
+    }
+
+    // Debit failed; put the notes back
+    public void release(Reservation r) {
+        synchronized (this) {
+            if (r.done) return;
+            r.done = true;
+            for (int i = 0; i < r.counts.length; i++) available[i] += r.counts[i];
+        }
+    }
+
+    // Refill a cassette
+    public void load(int denomination, int notes) {
+        synchronized (this) {
+            int i = indexOf(denomination);
+            stock[i] += notes;
+            available[i] += notes;
+            if (stock[i] > lowThreshold) lowReported[i] = false;
+        }
+    }
+
+    private void fireLowCash() {
+        int[] low = new int[denominations.length];
+        int found = 0;
+        synchronized (this) {
+            for (int i = 0; i < stock.length; i++) {
+                if (stock[i] <= lowThreshold && !lowReported[i]) {
+                    lowReported[i] = true;
+                    low[found++] = i;
+                }
+            }
+        }
+        // listeners run outside the lock so a slow one cannot stall other sessions
+        for (int j = 0; j < found; j++) {
+            int i = low[j];
+            for (CashInventoryListener l : listeners) l.onLowCash(denominations[i], getStock(denominations[i]));
+        }
+    }
+
+    private int indexOf(int denomination) {
+        for (int i = 0; i < denominations.length; i++) {
+            if (denominations[i] == denomination) return i;
+        }
+        throw new IllegalArgumentException("No cassette for denomination " + denomination);
+    }
+
+    // Notes free to be reserved right now
+    public synchronized int getCount(int denomination) { return available[indexOf(denomination)]; }
+
+    // Notes physically in the cassette, including ones reserved by open withdrawals
+    public synchronized int getStock(int denomination) { return stock[indexOf(denomination)]; }
+
+    public synchronized long getTotalCash() {
+        long total = 0;
+        for (int i = 0; i < stock.length; i++) total += (long) stock[i] * denominations[i];
+        return total;
+    }
+
+    public int[] getDenominations() { return denominations.clone(); }
+    public int getUnit() { return planner.getUnit(); }
+}
@@ -0,0 +1,6 @@
+package atm;
+
+public interface CashInventoryListener {
+    // Fired once when a cassette drops to or below its low-cash threshold
+    void onLowCash(int denomination, int notesLeft);
+}
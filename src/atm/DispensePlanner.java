@@ -0,0 +1,122 @@
+package atm;
+
+import java.util.Arrays;
+
+// Picks which notes to dispense for an amount.
+// Plans for every amount up to maxAmount are precomputed (fewest notes, within the per-dispense
+// note limit), so the common case is a table lookup. Only when a cassette is too low for the
+// precomputed plan do we fall back to a search bounded by the notes actually available.
+public class DispensePlanner {
+    private final int[] denominations;   // sorted high to low
+    private final int maxNotes;          // notes the dispenser can push out in one go
+    private final int unit;              // gcd of all denominations
+    private final int maxUnits;
+    private final int[][] plans;         // plans[amount / unit] = notes per denomination, or null
+
+    public DispensePlanner(int[] denominations, int maxNotes, int maxAmount) {
+        this.denominations = denominations.clone();
+        Arrays.sort(this.denominations);
+        reverse(this.denominations);
+        this.maxNotes = maxNotes;
+
+        int g = 0;
+        for (int d : this.denominations) g = gcd(g, d);
+        this.unit = g;
+        this.maxUnits = maxAmount / unit;
+        this.plans = precompute();
+    }
+
+    private int[][] precompute() {
+        int n = denominations.length;
+        int[] minNotes = new int[maxUnits + 1];
+        int[] lastNote = new int[maxUnits + 1];
+        Arrays.fill(minNotes, Integer.MAX_VALUE);
+        minNotes[0] = 0;
+        for (int a = 1; a <= maxUnits; a++) {
+            for (int i = 0; i < n; i++) {
+                int d = denominations[i] / unit;
+                if (d <= a && minNotes[a - d] != Integer.MAX_VALUE && minNotes[a - d] + 1 < minNotes[a]) {
+                    minNotes[a] = minNotes[a - d] + 1;
+                    lastNote[a] = i;
+                }
+            }
+        }
+
+        int[][] table = new int[maxUnits + 1][];
+        for (int a = 0; a <= maxUnits; a++) {
+            if (minNotes[a] > maxNotes) continue;
+            int[] counts = new int[n];
+            for (int rest = a; rest > 0; rest -= denominations[lastNote[rest]] / unit) counts[lastNote[rest]]++;
+            table[a] = counts;
+        }
+        return table;
+    }
+
+    // Returns notes per denomination (same order as getDenominations()), or null if the amount
+    // cannot be paid out from the given stock.
+    public int[] plan(long amount, int[] available) {
+        if (amount <= 0 || amount % unit != 0) return null;
+        long units = amount / unit;
+
+        if (units > maxUnits) return null;
+
+        int[] fast = plans[(int) units];
+        if (fast == null) return null; // needs more notes than the dispenser allows
+        if (fits(fast, available)) return fast.clone();
+        return planBounded((int) units, available);
+    }
+
+    // Fewest-notes search limited by current cassette counts
+    private int[] planBounded(int units, int[] available) {
+        int n = denominations.length;
+        int[][] best = new int[n + 1][units + 1];
+        for (int[] row : best) Arrays.fill(row, Integer.MAX_VALUE);
+        best[0][0] = 0;
+        for (int i = 0; i < n; i++) {
+            int d = denominations[i] / unit;
+            int limit = Math.min(available[i], maxNotes);
+            for (int a = 0; a <= units; a++) {
+                if (best[i][a] == Integer.MAX_VALUE) continue;
+                for (int k = 0; k <= limit && a + k * d <= units; k++) {
+                    int notes = best[i][a] + k;
+                    if (notes < best[i + 1][a + k * d]) best[i + 1][a + k * d] = notes;
+                }
+            }
+        }
+        if (best[n][units] > maxNotes) return null;
+
+        int[] counts = new int[n];
+        int rest = units;
+        for (int i = n - 1; i >= 0; i--) {
+            int d = denominations[i] / unit;
+            int limit = Math.min(available[i], maxNotes);
+            for (int k = 0; k <= limit && k * d <= rest; k++) {
+                int prev = best[i][rest - k * d];
+                if (prev != Integer.MAX_VALUE && prev + k == best[i + 1][rest]) {
+                    counts[i] = k;
+                    rest -= k * d;
+                    break;
+                }
+            }
+        }
+        return counts;
+    }
+
+    private static boolean fits(int[] counts, int[] available) {
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > available[i]) return false;
+        }
+        return true;
+    }
+
+    private static int gcd(int a, int b) { return b == 0 ? a : gcd(b, a % b); }
+
+    private static void reverse(int[] a) {
+        for (int i = 0, j = a.length - 1; i < j; i++, j--) {
+            int t = a[i]; a[i] = a[j]; a[j] = t;
+        }
+    }
+
+    public int[] getDenominations() { return denominations.clone(); }
+    public int getUnit() { return unit; }
+}
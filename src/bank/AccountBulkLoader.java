@@ -0,0 +1,264 @@
+package bank;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Streams accounts from a CSV or binary file into the accounts table.
+// Rows are read in chunks of one batch; the next chunk is validated on worker threads while the
+// current batch is being written, so memory stays at about two batches whatever the file size.
+// If a batch hits a constraint (e.g. a card that already exists), it is redone row by row and
+// only the offending rows are rejected, so the load always moves past them.
+// The number of input rows consumed is stored in bulk_load_progress in the same transaction as
+// the inserts, so a failed load resumes right after the last committed batch.
+//
+// Usage: java bank.AccountBulkLoader <file> [--format csv|bin] [--batch 1000] [--commit-every 10]
+//                                           [--threads N] [--job id] [--restart]
+public class AccountBulkLoader {
+    private static final String USAGE = "Usage: java bank.AccountBulkLoader <file> [--format csv|bin] [--batch 1000] " +
+        "[--commit-every 10] [--threads N] [--job id] [--restart]";
+    private static final String INSERT_SQL =
+        "INSERT INTO accounts(card_number, holder_name, pin, biometric_code, balance) VALUES(?,?,?,?,?)";
+    private static final String READ_PROGRESS_SQL = "SELECT rows_done FROM bulk_load_progress WHERE job_id=?";
+    private static final String SAVE_PROGRESS_SQL =
+        "MERGE INTO bulk_load_progress p USING dual ON (p.job_id=?) " +
+        "WHEN MATCHED THEN UPDATE SET rows_done=?, updated_at=SYSTIMESTAMP " +
+        "WHEN NOT MATCHED THEN INSERT(job_id, rows_done, updated_at) VALUES(?,?,SYSTIMESTAMP)";
+    private static final int UNIQUE_VIOLATION = 1; // ORA-00001, in case the driver reports a plain SQLException
+    private static final String DELETE_PROGRESS_SQL = "DELETE FROM bulk_load_progress WHERE job_id=?";
+
+    private final Connection conn;
+    private final AccountFormat format;
+    private final int batchSize;
+    private final int commitEvery;
+    private final int threads;
+    private final String jobId;
+
+    private long rowsInserted;
+    private long rowsRejected;
+
+    public AccountBulkLoader(Connection conn, AccountFormat format, int batchSize, int commitEvery, int threads, String jobId) {
+        if (batchSize < 1 || commitEvery < 1 || threads < 1)
+            throw new IllegalArgumentException("batchSize, commitEvery and threads must be at least 1");
+        this.conn = conn;
+        this.format = format;
+        this.batchSize = batchSize;
+        this.commitEvery = commitEvery;
+        this.threads = threads;
+        this.jobId = jobId;
+    }
+
+    public void restart() throws SQLException {
+        conn.setAutoCommit(false);
+        try (PreparedStatement ps = conn.prepareStatement(DELETE_PROGRESS_SQL)) {
+            ps.setString(1, jobId);
+            ps.executeUpdate();
+        }
+        conn.commit();
+    }
+
+    // Returns the number of input rows consumed (inserted or rejected) once the file is done
+    public long load(String file) throws IOException, SQLException, InterruptedException {
+        conn.setAutoCommit(false);
+        long resumeFrom = readProgress();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        boolean completed = false;
+
+        try (AccountFormat.Reader reader = format.openReader(new FileInputStream(file));
+             PreparedStatement insert = conn.prepareStatement(INSERT_SQL)) {
+
+            for (long skipped = 0; skipped < resumeFrom; skipped++) {
+                if (reader.next() == null) break;
+            }
+            if (resumeFrom > 0) System.out.println("Resuming job " + jobId + " after row " + resumeFrom);
+
+            long consumed = resumeFrom;
+            long startNanos = System.nanoTime();
+            int batchesSinceCommit = 0;
+
+            List<Object> chunk = readChunk(reader);
+            PendingChunk pending = validate(pool, reader, chunk, consumed);
+            while (!chunk.isEmpty()) {
+                AccountRecord[] valid = pending.get();
+                long chunkStart = consumed;
+                consumed += chunk.size();
+
+                // validate the next chunk while this batch goes to the database
+                chunk = readChunk(reader);
+                pending = validate(pool, reader, chunk, consumed);
+
+                int batched = 0;
+                for (AccountRecord r : valid) {
+                    if (r == null) { rowsRejected++; continue; }
+                    bind(insert, r);
+                    insert.addBatch();
+                    batched++;
+                }
+                Savepoint beforeBatch = conn.setSavepoint();
+                try {
+                    insert.executeBatch();
+                    rowsInserted += batched;
+                } catch (BatchUpdateException e) {
+                    // Usually a card that already exists or repeats in the file: redo this batch one
+                    // row at a time so only the offending rows are rejected
+                    insert.clearBatch();
+                    conn.rollback(beforeBatch);
+                    insertRowByRow(insert, valid, chunkStart);
+                }
+
+                if (++batchesSinceCommit >= commitEvery || chunk.isEmpty()) {
+                    saveProgress(consumed);
+                    conn.commit();
+                    batchesSinceCommit = 0;
+                    double secs = (System.nanoTime() - startNanos) / 1e9;
+                    System.out.printf("Committed %d rows (%.0f rows/sec)%n", consumed, (consumed - resumeFrom) / Math.max(secs, 1e-9));
+                }
+            }
+            completed = true;
+            System.out.println("Load finished: " + rowsInserted + " inserted, " + rowsRejected + " rejected, " + consumed + " rows total");
+            return consumed;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Validation failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+            // Whatever went wrong (including interrupts and runtime errors), drop inserts that were
+            // not committed together with their progress row; Oracle would commit them on close.
+            if (!completed) {
+                try { conn.rollback(); } catch (SQLException e) { e.printStackTrace(); }
+            }
+        }
+    }
+
+    private void insertRowByRow(PreparedStatement insert, AccountRecord[] rows, long firstRow) throws SQLException {
+        for (int i = 0; i < rows.length; i++) {
+            if (rows[i] == null) continue; // already counted as rejected
+            bind(insert, rows[i]);
+            try {
+                insert.executeUpdate();
+                rowsInserted++;
+            } catch (SQLException e) {
+                if (!(e instanceof SQLIntegrityConstraintViolationException) && e.getErrorCode() != UNIQUE_VIOLATION) throw e;
+                rowsRejected++;
+                System.err.println("Row " + (firstRow + i + 1) + " rejected: " + e.getMessage().trim());
+            }
+        }
+    }
+
+    private static void bind(PreparedStatement insert, AccountRecord r) throws SQLException {
+        insert.setString(1, r.getCardNumber());
+        insert.setString(2, r.getHolderName());
+        insert.setInt(3, r.getPin());
+        insert.setString(4, r.getBiometricCode());
+        insert.setBigDecimal(5, r.getBalance());
+    }
+
+    private List<Object> readChunk(AccountFormat.Reader reader) throws IOException {
+        List<Object> chunk = new ArrayList<>(batchSize);
+        Object raw;
+        while (chunk.size() < batchSize && (raw = reader.next()) != null) chunk.add(raw);
+        return chunk;
+    }
+
+    // Decodes and validates a chunk split across the pool; rejected rows come back as null
+    private PendingChunk validate(ExecutorService pool, AccountFormat.Reader reader, List<Object> chunk, long firstRow) {
+        AccountRecord[] out = new AccountRecord[chunk.size()];
+        int slice = Math.max(1, (chunk.size() + threads - 1) / threads);
+        List<Future<?>> parts = new ArrayList<>();
+        for (int from = 0; from < chunk.size(); from += slice) {
+            int start = from, end = Math.min(chunk.size(), from + slice);
+            parts.add(pool.submit(() -> {
+                for (int i = start; i < end; i++) {
+                    try {
+                        out[i] = reader.decode(chunk.get(i));
+                    } catch (IllegalArgumentException e) {
+                        System.err.println("Row " + (firstRow + i + 1) + " rejected: " + e.getMessage());
+                    }
+                }
+            }));
+        }
+        return new PendingChunk(out, parts);
+    }
+
+    // Result of validating one chunk; get() waits for all of its slices
+    private static class PendingChunk {
+        private final AccountRecord[] out;
+        private final List<Future<?>> parts;
+
+        PendingChunk(AccountRecord[] out, List<Future<?>> parts) {
+            this.out = out;
+            this.parts = parts;
+        }
+
+        AccountRecord[] get() throws InterruptedException, ExecutionException {
+            for (Future<?> f : parts) f.get();
+            return out;
+        }
+    }
+
+    private long readProgress() throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(READ_PROGRESS_SQL)) {
+            ps.setString(1, jobId);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+        }
+    }
+
+    private void saveProgress(long rowsDone) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(SAVE_PROGRESS_SQL)) {
+            ps.setString(1, jobId);
+            ps.setLong(2, rowsDone);
+            ps.setString(3, jobId);
+            ps.setLong(4, rowsDone);
+            ps.executeUpdate();
+        }
+    }
+
+    public long getRowsInserted() { return rowsInserted; }
+    public long getRowsRejected() { return rowsRejected; }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.out.println(USAGE);
+            return;
+        }
+        String file = args[0];
+        AccountFormat format = file.endsWith(".bin") ? AccountFormat.BINARY : AccountFormat.CSV;
+        int batch = 1000, commitEvery = 10, threads = Runtime.getRuntime().availableProcessors();
+        String job = file;
+        boolean restart = false;
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+                case "--format": format = AccountFormat.fromName(args[++i]); break;
+                case "--batch": batch = Integer.parseInt(args[++i]); break;
+                case "--commit-every": commitEvery = Integer.parseInt(args[++i]); break;
+                case "--threads": threads = Integer.parseInt(args[++i]); break;
+                case "--job": job = args[++i]; break;
+                case "--restart": restart = true; break;
+                default: System.err.println("Unknown option: " + args[i]); return;
+            }
+        }
+        if (batch < 1 || commitEvery < 1 || threads < 1) {
+            System.err.println("--batch, --commit-every and --threads must be at least 1");
+            System.err.println(USAGE);
+            return;
+        }
+
+        try (Connection conn = BankConnector.openConnection()) {
+            AccountBulkLoader loader = new AccountBulkLoader(conn, format, batch, commitEvery, threads, job);
+            if (restart) loader.restart();
+            try {
+                loader.load(file);
+            } catch (SQLException e) {
+                System.err.println("Load failed: " + e.getMessage());
+                System.err.println("Committed batches are kept; rerun with --job " + job + " to resume.");
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package bank;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Serializes balance changes per card without a global lock.
+// Cards hash onto a fixed set of lock stripes, so different cards almost never wait on each
+// other; give RealBankServer a session pool (poolSize > 1) so they don't share a session either.
+// Each card also has a mailbox: a caller posts its operation, takes the stripe lock and runs
+// everything queued for the card in one go. Operations that pile up while a write is in flight
+// are therefore applied together by the next lock holder as a single database write.
+public class AccountExecutor {
+    public enum Type { DEPOSIT, WITHDRAW }
+
+    public static class Op {
+        private final Type type;
+        private final double amount;
+        private boolean done;     // guarded by the stripe lock
+        private boolean success;
+
+        Op(Type type, double amount) {
+            this.type = type;
+            this.amount = amount;
+        }
+
+        public Type getType() { return type; }
+        public double getAmount() { return amount; }
+        public void complete(boolean success) { this.success = success; }
+    }
+
+    // Applies all queued operations for one card; must call complete() on each of them
+    public interface BatchApplier {
+        void apply(String cardNumber, List<Op> ops);
+    }
+
+    private final ReentrantLock[] stripes;
+    private final ConcurrentHashMap<String, Queue<Op>> mailboxes = new ConcurrentHashMap<>();
+    private final BatchApplier applier;
+
+    public AccountExecutor(BatchApplier applier) {
+        this(applier, Runtime.getRuntime().availableProcessors() * 4);
+    }
+
+    public AccountExecutor(BatchApplier applier, int stripeCount) {
+        this.applier = applier;
+        int n = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1; // round up to a power of two
+        stripes = new ReentrantLock[n];
+        for (int i = 0; i < n; i++) stripes[i] = new ReentrantLock();
+    }
+
+    public boolean deposit(String cardNumber, double amount) { return submit(cardNumber, new Op(Type.DEPOSIT, amount)); }
+    public boolean withdraw(String cardNumber, double amount) { return submit(cardNumber, new Op(Type.WITHDRAW, amount)); }
+
+    private boolean submit(String cardNumber, Op op) {
+        Queue<Op> mailbox = mailboxes.computeIfAbsent(cardNumber, k -> new ConcurrentLinkedQueue<>());
+        mailbox.add(op);
+
+        ReentrantLock lock = stripeFor(cardNumber);
+        lock.lock();
+        try {
+            // A previous lock holder may already have run our op as part of its batch
+            if (!op.done) {
+                List<Op> batch = new ArrayList<>();
+                for (Op next; (next = mailbox.poll()) != null; ) batch.add(next);
+                try {
+                    applier.apply(cardNumber, batch);
+                } finally {
+                    for (Op o : batch) o.done = true;
+                }
+            }
+            if (mailbox.isEmpty()) mailboxes.remove(cardNumber, mailbox);
+        } finally {
+            lock.unlock();
+        }
+        return op.success;
+    }
+
+    private ReentrantLock stripeFor(String cardNumber) {
+        int h = cardNumber.hashCode();
+        h ^= (h >>> 16); // spread, card numbers share long common prefixes
+        return stripes[h & (stripes.length - 1)];
+    }
+
+    public int getStripeCount() { return stripes.length; }
+}
@@ -0,0 +1,75 @@
+package bank;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.*;
+
+// Streams the accounts table to a CSV or binary file without loading it into memory.
+//
+// Usage: java bank.AccountExporter <file> [--format csv|bin] [--fetch 1000]
+public class AccountExporter {
+    private static final String SELECT_SQL =
+        "SELECT card_number, holder_name, pin, biometric_code, balance FROM accounts ORDER BY card_number";
+
+    private final Connection conn;
+    private final AccountFormat format;
+    private final int fetchSize;
+
+    public AccountExporter(Connection conn, AccountFormat format, int fetchSize) {
+        this.conn = conn;
+        this.format = format;
+        this.fetchSize = fetchSize;
+    }
+
+    // Returns the number of rows written
+    public long export(String file) throws IOException, SQLException {
+        long rows = 0;
+        long startNanos = System.nanoTime();
+        try (AccountFormat.Writer writer = format.openWriter(new FileOutputStream(file));
+             PreparedStatement ps = conn.prepareStatement(SELECT_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            ps.setFetchSize(fetchSize);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    // balance is nullable in the schema; a missing balance means the DEFAULT 0
+                    BigDecimal balance = rs.getBigDecimal("balance");
+                    writer.write(new AccountRecord(
+                        rs.getString("card_number"),
+                        rs.getString("holder_name"),
+                        rs.getInt("pin"),
+                        rs.getString("biometric_code"),
+                        balance == null ? 0 : balance.movePointRight(2).longValueExact()));
+                    if (++rows % 100000 == 0) printRate(rows, startNanos);
+                }
+            }
+        }
+        printRate(rows, startNanos);
+        return rows;
+    }
+
+    private static void printRate(long rows, long startNanos) {
+        double secs = (System.nanoTime() - startNanos) / 1e9;
+        System.out.printf("Exported %d rows (%.0f rows/sec)%n", rows, rows / Math.max(secs, 1e-9));
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.out.println("Usage: java bank.AccountExporter <file> [--format csv|bin] [--fetch 1000]");
+            return;
+        }
+        String file = args[0];
+        AccountFormat format = file.endsWith(".bin") ? AccountFormat.BINARY : AccountFormat.CSV;
+        int fetch = 1000;
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+                case "--format": format = AccountFormat.fromName(args[++i]); break;
+                case "--fetch": fetch = Integer.parseInt(args[++i]); break;
+                default: System.err.println("Unknown option: " + args[i]); return;
+            }
+        }
+
+        try (Connection conn = BankConnector.openConnection()) {
+            new AccountExporter(conn, format, fetch).export(file);
+        }
+    }
+}
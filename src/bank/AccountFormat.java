@@ -0,0 +1,107 @@
+package bank;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+
+// File formats for bulk account import/export.
+// CSV:    header line, then card_number,holder_name,pin,biometric_code,balance
+// BINARY: "ATMA" + version byte, then per row a 1 marker byte, card (UTF), name (UTF),
+//         pin (short), biometric (UTF), balance in paise (long); a 0 byte ends the file.
+public enum AccountFormat {
+    CSV, BINARY;
+
+    public static final String CSV_HEADER = "card_number,holder_name,pin,biometric_code,balance";
+    private static final int MAGIC = 0x41544D41; // "ATMA"
+    private static final int VERSION = 1;
+
+    // Reads raw rows one at a time; decode() turns a raw row into a validated record and
+    // is safe to call from several threads at once.
+    public interface Reader extends Closeable {
+        Object next() throws IOException;   // null at end of input
+        AccountRecord decode(Object raw);
+    }
+
+    public interface Writer extends Closeable {
+        void write(AccountRecord r) throws IOException;
+    }
+
+    public static AccountFormat fromName(String name) {
+        if (name.equalsIgnoreCase("csv")) return CSV;
+        if (name.equalsIgnoreCase("bin") || name.equalsIgnoreCase("binary")) return BINARY;
+        throw new IllegalArgumentException("Unknown format: " + name + " (use csv or bin)");
+    }
+
+    public Reader openReader(InputStream in) throws IOException {
+        if (this == CSV) {
+            BufferedReader br = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 1 << 16);
+            String header = br.readLine();
+            if (header == null || !header.trim().equalsIgnoreCase(CSV_HEADER))
+                throw new IOException("Missing CSV header: " + CSV_HEADER);
+            return new Reader() {
+                public Object next() throws IOException {
+                    String line;
+                    do { line = br.readLine(); } while (line != null && line.isBlank());
+                    // an odd number of quotes means a quoted field continues on the next line
+                    while (line != null && countQuotes(line) % 2 == 1) {
+                        String more = br.readLine();
+                        if (more == null) break; // unterminated quote, decode() rejects the row
+                        line = line + "\n" + more;
+                    }
+                    return line;
+                }
+                public AccountRecord decode(Object raw) { return AccountRecord.fromCsv((String) raw).validate(); }
+                public void close() throws IOException { br.close(); }
+            };
+        }
+
+        DataInputStream din = new DataInputStream(new BufferedInputStream(in, 1 << 16));
+        if (din.readInt() != MAGIC || din.readUnsignedByte() != VERSION)
+            throw new IOException("Not an account export file (bad header)");
+        return new Reader() {
+            public Object next() throws IOException {
+                if (din.readUnsignedByte() == 0) return null;
+                return new AccountRecord(din.readUTF(), din.readUTF(), din.readShort(), din.readUTF(), din.readLong());
+            }
+            public AccountRecord decode(Object raw) { return ((AccountRecord) raw).validate(); }
+            public void close() throws IOException { din.close(); }
+        };
+    }
+
+    private static int countQuotes(String s) {
+        int n = 0;
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) == '"') n++;
+        }
+        return n;
+    }
+
+    public Writer openWriter(OutputStream out) throws IOException {
+        if (this == CSV) {
+            BufferedWriter bw = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 1 << 16);
+            bw.write(CSV_HEADER);
+            bw.newLine();
+            return new Writer() {
+                public void write(AccountRecord r) throws IOException { bw.write(r.toCsv()); bw.newLine(); }
+                public void close() throws IOException { bw.close(); }
+            };
+        }
+
+        DataOutputStream dout = new DataOutputStream(new BufferedOutputStream(out, 1 << 16));
+        dout.writeInt(MAGIC);
+        dout.writeByte(VERSION);
+        return new Writer() {
+            public void write(AccountRecord r) throws IOException {
+                dout.writeByte(1);
+                dout.writeUTF(r.getCardNumber());
+                dout.writeUTF(r.getHolderName());
+                dout.writeShort(r.getPin());
+                dout.writeUTF(r.getBiometricCode());
+                dout.writeLong(r.getBalancePaise());
+            }
+            public void close() throws IOException {
+                dout.writeByte(0);
+                dout.close();
+            }
+        };
+    }
+}
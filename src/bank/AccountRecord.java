@@ -0,0 +1,110 @@
+package bank;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+// One row of the accounts table as used by the bulk loader/exporter
+public class AccountRecord {
+    private final String cardNumber;
+    private final String holderName;
+    private final int pin;
+    private final String biometricCode;
+    private final long balancePaise;   // balance * 100, NUMBER(12,2) fits in a long
+
+    public AccountRecord(String cardNumber, String holderName, int pin, String biometricCode, long balancePaise) {
+        this.cardNumber = cardNumber;
+        this.holderName = holderName;
+        this.pin = pin;
+        this.biometricCode = biometricCode;
+        this.balancePaise = balancePaise;
+    }
+
+    // Checks the row against the accounts table constraints; throws IllegalArgumentException if invalid
+    public AccountRecord validate() {
+        if (cardNumber == null || cardNumber.length() != 16 || !allDigits(cardNumber))
+            throw new IllegalArgumentException("card_number must be 16 digits: " + cardNumber);
+        if (holderName == null || holderName.isBlank() || holderName.length() > 50)
+            throw new IllegalArgumentException("holder_name must be 1-50 characters");
+        // a line break would split the row in the line-based CSV format
+        if (hasControlChars(holderName))
+            throw new IllegalArgumentException("holder_name must not contain control characters");
+        if (pin < 0 || pin > 9999)
+            throw new IllegalArgumentException("pin must be 4 digits: " + pin);
+        if (biometricCode == null || biometricCode.isEmpty() || biometricCode.length() > 20)
+            throw new IllegalArgumentException("biometric_code must be 1-20 characters");
+        if (hasControlChars(biometricCode))
+            throw new IllegalArgumentException("biometric_code must not contain control characters");
+        if (balancePaise < 0 || balancePaise >= 1_000_000_000_000L)
+            throw new IllegalArgumentException("balance out of range: " + getBalance());
+        return this;
+    }
+
+    // card_number,holder_name,pin,biometric_code,balance
+    public static AccountRecord fromCsv(String line) {
+        String[] f = splitCsv(line);
+        // NumberFormatException is an IllegalArgumentException, so bad numbers surface the same way
+        if (f.length != 5) throw new IllegalArgumentException("expected 5 fields, got " + f.length);
+        try {
+            BigDecimal balance = new BigDecimal(f[4].trim());
+            return new AccountRecord(f[0].trim(), f[1].trim(), Integer.parseInt(f[2].trim()), f[3].trim(),
+                balance.movePointRight(2).longValueExact());
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("balance has more than 2 decimals: " + f[4]);
+        }
+    }
+
+    public String toCsv() {
+        return cardNumber + "," + quote(holderName) + "," + pin + "," + quote(biometricCode) + "," + getBalance().toPlainString();
+    }
+
+    private static String[] splitCsv(String line) {
+        List<String> fields = new ArrayList<>(5);
+        StringBuilder sb = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char ch = line.charAt(i);
+            if (quoted) {
+                if (ch == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') { sb.append('"'); i++; }
+                else if (ch == '"') quoted = false;
+                else sb.append(ch);
+            } else if (ch == '"') {
+                quoted = true;
+            } else if (ch == ',') {
+                fields.add(sb.toString());
+                sb.setLength(0);
+            } else {
+                sb.append(ch);
+            }
+        }
+        fields.add(sb.toString());
+        return fields.toArray(new String[0]);
+    }
+
+    private static String quote(String s) {
+        // line breaks are quoted too, AccountFormat's CSV reader joins quoted lines back into one row
+        if (s.indexOf(',') < 0 && s.indexOf('"') < 0 && s.indexOf('\n') < 0 && s.indexOf('\r') < 0) return s;
+        return "\"" + s.replace("\"", "\"\"") + "\"";
+    }
+
+    private static boolean hasControlChars(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            if (Character.isISOControl(s.charAt(i))) return true;
+        }
+        return false;
+    }
+
+    private static boolean allDigits(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) < '0' || s.charAt(i) > '9') return false;
+        }
+        return true;
+    }
+
+    public String getCardNumber() { return cardNumber; }
+    public String getHolderName() { return holderName; }
+    public int getPin() { return pin; }
+    public String getBiometricCode() { return biometricCode; }
+    public long getBalancePaise() { return balancePaise; }
+    public BigDecimal getBalance() { return BigDecimal.valueOf(balancePaise, 2); }
+}
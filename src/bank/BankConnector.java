@@ -0,0 +1,219 @@
+package bank;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+public class BankConnector {
+    // Change username/password as per your DB
+    private static final String DRIVER = "oracle.jdbc.driver.OracleDriver";
+    private static final String URL = "jdbc:oracle:thin:@localhost:1521:XE";
+    private static final String USER = "system";
+    private static final String PASSWORD = "23MIC0141";
+
+    private static final long INITIAL_BACKOFF_MS = 500;
+    private static final long MAX_BACKOFF_MS = 30000;
+
+    // Statements RealBankServer runs on the hot path, prepared once per session and kept
+    private static final String[] WARM_UP_SQL = {
+        RealBankServer.CARD_EXISTS_SQL,
+        RealBankServer.PIN_SQL,
+        RealBankServer.BIOMETRIC_SQL,
+        RealBankServer.BALANCE_SQL,
+        RealBankServer.UPDATE_BALANCE_SQL,
+        RealBankServer.LOG_SQL
+    };
+
+    private final Object lock = new Object();
+    private final long createdAt = System.nanoTime();
+    private final int poolSize;
+    private final BlockingQueue<BankSession> idle = new LinkedBlockingQueue<>();
+
+    private List<BankSession> sessions = new ArrayList<>();   // every session of the current generation
+    private int generation;
+    private volatile BankHealth health = BankHealth.STARTING;
+    private volatile String lastError;
+    private volatile long readyAfterMs = -1;
+    private volatile int attempts;
+    private boolean failing;   // guarded by lock; so a long outage is logged once, not per retry
+    private Thread worker;
+
+    // One session: the interactive ATM is single-threaded, and more sessions only delay READY
+    public BankConnector() {
+        this(1);
+    }
+
+    // For multi-threaded callers: one session per core (2..8), so different cards can hit the
+    // DB in parallel without opening a session per thread
+    public static int suggestedPoolSize() {
+        return Math.max(2, Math.min(8, Runtime.getRuntime().availableProcessors()));
+    }
+
+    public BankConnector(int poolSize) {
+        this.poolSize = Math.max(1, poolSize);
+    }
+
+    // Plain connection with the bank's credentials, for batch tools that manage it themselves
+    public static Connection openConnection() throws ClassNotFoundException, SQLException {
+        Class.forName(DRIVER);
+        return DriverManager.getConnection(URL, USER, PASSWORD);
+    }
+
+    // Blocking connect + warm-up of every pooled session. Returns true if the pool is usable.
+    public boolean connectNow() {
+        attempts++;
+        int gen;
+        synchronized (lock) { gen = generation + 1; }
+        List<BankSession> fresh = new ArrayList<>(poolSize);
+        try {
+            for (int i = 0; i < poolSize; i++) {
+                BankSession session = new BankSession(openConnection(), gen);
+                fresh.add(session); // added before warm-up so a failed warm-up still closes it
+                warmUp(session);
+            }
+            boolean recovered;
+            synchronized (lock) {
+                if (health == BankHealth.STOPPED) { // closed while we were connecting
+                    for (BankSession session : fresh) session.close();
+                    return false;
+                }
+                recovered = failing;
+                failing = false;
+                generation = gen;
+                sessions = fresh;
+                idle.clear();
+                idle.addAll(fresh);
+                health = BankHealth.READY;
+                lastError = null;
+                if (readyAfterMs < 0) readyAfterMs = (System.nanoTime() - createdAt) / 1_000_000;
+                lock.notifyAll();
+            }
+            System.out.println(recovered ? "Bank connection restored." : "Connected to Oracle Database successfully!");
+            return true;
+        } catch (Exception e) {
+            for (BankSession session : fresh) session.close();
+            boolean firstFailure;
+            synchronized (lock) {
+                if (health != BankHealth.STOPPED) health = BankHealth.RECONNECTING;
+                lastError = e.toString();
+                firstFailure = !failing;
+                failing = true;
+            }
+            // later retries stay quiet, getHealth()/getLastError() report the current state
+            if (firstFailure) System.err.println("Database connection failed! " + e.getMessage() + " (retrying in background)");
+            return false;
+        }
+    }
+
+    private void warmUp(BankSession session) throws SQLException {
+        // statements stay open in the session, RealBankServer reuses them
+        for (String sql : WARM_UP_SQL) session.prepare(sql);
+        PreparedStatement ps = session.prepare(RealBankServer.CARD_EXISTS_SQL);
+        ps.setString(1, "0000000000000000");
+        ps.executeQuery().close();
+    }
+
+    // Starts the daemon thread that connects (if needed) and reconnects with backoff.
+    public void startInBackground() {
+        synchronized (lock) {
+            if (worker != null) return;
+            worker = new Thread(this::run, "bank-connector");
+            worker.setDaemon(true);
+            worker.start();
+        }
+    }
+
+    private void run() {
+        long backoff = INITIAL_BACKOFF_MS;
+        while (true) {
+            synchronized (lock) {
+                // Sleep until someone reports the connection as broken
+                while (health == BankHealth.READY) {
+                    try { lock.wait(); } catch (InterruptedException e) { return; }
+                }
+                if (health == BankHealth.STOPPED) return;
+            }
+            if (connectNow()) {
+                backoff = INITIAL_BACKOFF_MS;
+                continue;
+            }
+            synchronized (lock) {
+                try { lock.wait(backoff); } catch (InterruptedException e) { return; }
+            }
+            backoff = Math.min(backoff * 2, MAX_BACKOFF_MS);
+        }
+    }
+
+    // Borrows a session for one operation; null if the bank is not reachable.
+    // Every acquire must be paired with release().
+    BankSession acquire() {
+        if (health != BankHealth.READY) return null;
+        try {
+            return idle.poll(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    void release(BankSession session) {
+        synchronized (lock) {
+            // sessions from a dropped generation were closed already, just forget them
+            if (session.getGeneration() == generation && health == BankHealth.READY) idle.add(session);
+        }
+    }
+
+    // Called by RealBankServer when a query fails; drops the pool if the connection is dead
+    void reportFailure(BankSession session, SQLException e) {
+        if (session.isValid()) return;
+        synchronized (lock) {
+            if (session.getGeneration() != generation || health != BankHealth.READY) return; // already handled
+            health = BankHealth.RECONNECTING;
+            lastError = e.toString();
+            failing = true;
+            dropSessions();
+            lock.notifyAll();
+        }
+        System.err.println("Bank connection lost, reconnecting...");
+    }
+
+    // Caller holds lock
+    private void dropSessions() {
+        idle.clear();
+        for (BankSession s : sessions) s.close();
+        sessions = new ArrayList<>();
+    }
+
+    // Waits up to timeoutMs for the connection to become ready
+    public boolean awaitReady(long timeoutMs) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        synchronized (lock) {
+            while (health != BankHealth.READY) {
+                long left = deadline - System.currentTimeMillis();
+                if (left <= 0 || health == BankHealth.STOPPED) return false;
+                lock.wait(left);
+            }
+            return true;
+        }
+    }
+
+    public void close() {
+        boolean wasOpen;
+        synchronized (lock) {
+            wasOpen = !sessions.isEmpty();
+            health = BankHealth.STOPPED;
+            dropSessions();
+            lock.notifyAll();
+        }
+        if (wasOpen) System.out.println("Connection closed successfully.");
+    }
+
+    public BankHealth getHealth() { return health; }
+    public boolean isReady() { return health == BankHealth.READY; }
+    public String getLastError() { return lastError; }
+    public long getReadyAfterMs() { return readyAfterMs; }
+    public int getAttempts() { return attempts; }
+}
@@ -0,0 +1,8 @@
+package bank;
+
+public enum BankHealth {
+    STARTING,      // connector created, first connect not finished yet
+    READY,         // connection open and statements warmed up
+    RECONNECTING,  // connect failed or connection dropped, retrying with backoff
+    STOPPED        // connection closed on purpose
+}
@@ -7,6 +7,25 @@ public class BankProxy implements BankOperations {
         realBank = new RealBankServer();
     }
 
+    // Fast startup: returns at once, the bank connection is opened and warmed up in the background
+    public BankProxy(boolean background) {
+        realBank = new RealBankServer(background);
+    }
+
+    // Health API for the connection behind this proxy
+    public BankHealth getHealth() { return realBank.getConnector().getHealth(); }
+    public boolean isReady() { return realBank.getConnector().isReady(); }
+    public String getLastError() { return realBank.getConnector().getLastError(); }
+    public long getReadyAfterMs() { return realBank.getConnector().getReadyAfterMs(); }
+
+    public boolean awaitReady(long timeoutMs) throws InterruptedException {
+        return realBank.getConnector().awaitReady(timeoutMs);
+    }
+
+    public void shutdown() {
+        realBank.closeConnection();
+    }
+
     // New method to check if card exists in DB
     public boolean verifyCardExists(String cardNumber) {
         return realBank.cardExists(cardNumber);
@@ -0,0 +1,46 @@
+package bank;
+
+import java.sql.*;
+import java.util.HashMap;
+import java.util.Map;
+
+// One JDBC connection plus the statements run on it, prepared once and reused.
+// A session is only used by the thread that acquired it from BankConnector.
+class BankSession {
+    private final Connection conn;
+    private final int generation;   // connector generation this session was opened in
+    private final Map<String, PreparedStatement> statements = new HashMap<>();
+
+    BankSession(Connection conn, int generation) {
+        this.conn = conn;
+        this.generation = generation;
+    }
+
+    PreparedStatement prepare(String sql) throws SQLException {
+        PreparedStatement ps = statements.get(sql);
+        if (ps == null) {
+            ps = conn.prepareStatement(sql);
+            statements.put(sql, ps);
+        }
+        return ps;
+    }
+
+    boolean isValid() {
+        try {
+            return conn.isValid(2);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    Connection getConnection() { return conn; }
+    int getGeneration() { return generation; }
+
+    void close() {
+        for (PreparedStatement ps : statements.values()) {
+            try { ps.close(); } catch (SQLException ignored) { }
+        }
+        statements.clear();
+        try { conn.close(); } catch (SQLException ignored) { }
+    }
+}
@@ -1,158 +1,245 @@
 package bank;
 
 import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.sql.*;
 import java.time.Instant;
+import java.util.List;
 
 public class RealBankServer implements BankOperations {
-    private Connection conn;
+    static final String CARD_EXISTS_SQL = "SELECT 1 FROM accounts WHERE card_number = ?";
+    static final String PIN_SQL = "SELECT pin FROM accounts WHERE card_number=?";
+    static final String BIOMETRIC_SQL = "SELECT biometric_code FROM accounts WHERE card_number=?";
+    static final String BALANCE_SQL = "SELECT balance FROM accounts WHERE card_number=?";
+    static final String UPDATE_BALANCE_SQL = "UPDATE accounts SET balance=balance+? WHERE card_number=?";
+    static final String LOG_SQL = "INSERT INTO transactions(tx_id, card_number, tx_type, amount, timestamp) VALUES(?,?,?,?,?)";
+
+    private final BankConnector connector;
+    private final AccountExecutor accounts = new AccountExecutor(this::applyBatch);
 
     public RealBankServer() {
-        try {
-            // Load Oracle driver
-            Class.forName("oracle.jdbc.driver.OracleDriver");
-            // Change username/password as per your DB
-            conn = DriverManager.getConnection(
-                "jdbc:oracle:thin:@localhost:1521:XE", "system", "23MIC0141");
+        this(false);
+    }
 
-            System.out.println("Connected to Oracle Database successfully!");
-        } catch (Exception e) {
-            System.err.println("Database connection failed!");
-            e.printStackTrace();
-        }
+    // background=true returns immediately and lets the connector connect and warm up on its own thread
+    public RealBankServer(boolean background) {
+        this(background, 1);
+    }
+
+    // poolSize > 1 for callers that run transactions from several threads at once
+    public RealBankServer(boolean background, int poolSize) {
+        connector = new BankConnector(poolSize);
+        if (!background) connector.connectNow();
+        connector.startInBackground(); // keeps reconnecting with backoff if the DB goes away
     }
 
     // Check if the card exists in the accounts table
     public boolean cardExists(String cardNumber) {
-        if (conn == null) return false;
+        BankSession session = connector.acquire();
+        if (session == null) return false;
         try {
-            String sql = "SELECT 1 FROM accounts WHERE card_number = ?";
-            PreparedStatement ps = conn.prepareStatement(sql);
+            PreparedStatement ps = session.prepare(CARD_EXISTS_SQL);
             ps.setString(1, cardNumber);
-            ResultSet rs = ps.executeQuery();
-            return rs.next(); // true if a row exists
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next(); // true if a row exists
+            }
         } catch (SQLException e) {
             e.printStackTrace();
+            connector.reportFailure(session, e);
+        } finally {
+            connector.release(session);
         }
         return false;
     }
 
     @Override
     public boolean verifyPin(String cardNumber, int pin) {
-        if (conn == null) return false;
+        BankSession session = connector.acquire();
+        if (session == null) return false;
         try {
-            String sql = "SELECT pin FROM accounts WHERE card_number=?";
-            PreparedStatement ps = conn.prepareStatement(sql);
+            PreparedStatement ps = session.prepare(PIN_SQL);
             ps.setString(1, cardNumber);
-            ResultSet rs = ps.executeQuery();
-            if (rs.next()) return rs.getInt("pin") == pin;
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) return rs.getInt("pin") == pin;
+            }
         } catch (SQLException e) {
             e.printStackTrace();
+            connector.reportFailure(session, e);
+        } finally {
+            connector.release(session);
         }
         return false;
     }
 
     @Override
     public boolean verifyBiometric(String cardNumber, String biometric) {
-        if (conn == null) return false;
+        BankSession session = connector.acquire();
+        if (session == null) return false;
         try {
-            String sql = "SELECT biometric_code FROM accounts WHERE card_number=?";
-            PreparedStatement ps = conn.prepareStatement(sql);
+            PreparedStatement ps = session.prepare(BIOMETRIC_SQL);
             ps.setString(1, cardNumber);
-            ResultSet rs = ps.executeQuery();
-            if (rs.next()) return rs.getString("biometric_code").equals(biometric);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) return rs.getString("biometric_code").equals(biometric);
+            }
         } catch (SQLException e) {
             e.printStackTrace();
+            connector.reportFailure(session, e);
+        } finally {
+            connector.release(session);
         }
         return false;
     }
 
     @Override
     public double getBalance(String cardNumber) {
-        if (conn == null) return -1;
+        BankSession session = connector.acquire();
+        if (session == null) return -1;
         try {
-            String sql = "SELECT balance FROM accounts WHERE card_number=?";
-            PreparedStatement ps = conn.prepareStatement(sql);
-            ps.setString(1, cardNumber);
-            ResultSet rs = ps.executeQuery();
-            if (rs.next()) return rs.getDouble("balance");
+            return balanceOf(session, cardNumber);
         } catch (SQLException e) {
             e.printStackTrace();
+            connector.reportFailure(session, e);
+        } finally {
+            connector.release(session);
+        }
+        return -1;
+    }
+
+    private double balanceOf(BankSession session, String cardNumber) throws SQLException {
+        PreparedStatement ps = session.prepare(BALANCE_SQL);
+        ps.setString(1, cardNumber);
+        try (ResultSet rs = ps.executeQuery()) {
+            if (rs.next()) return rs.getDouble("balance");
         }
         return -1;
     }
 
     @Override
     public boolean withdraw(String cardNumber, double amount) {
-        if (conn == null) return false;
+        if (!connector.isReady()) return false;
+        return accounts.withdraw(cardNumber, amount);
+    }
+
+    @Override
+    public void deposit(String cardNumber, double amount) {
+        if (!connector.isReady()) return;
+        accounts.deposit(cardNumber, amount);
+    }
+
+    // Runs under the card's stripe lock with every deposit/withdrawal queued for that card, as one
+    // transaction: balance read, one UPDATE for the net change, one batched INSERT for the log
+    // rows, one commit. Callers only hear "success" once that commit went through.
+    private void applyBatch(String cardNumber, List<AccountExecutor.Op> ops) {
+        BankSession session = connector.acquire();
+        if (session == null) return;
+        Connection conn = session.getConnection();
+        boolean committed = false;
         try {
-            double balance = getBalance(cardNumber);
-            if (balance >= amount) {
-                String sql = "UPDATE accounts SET balance=balance-? WHERE card_number=?";
-                PreparedStatement ps = conn.prepareStatement(sql);
-                ps.setDouble(1, amount);
+            conn.setAutoCommit(false);
+            boolean anyWithdraw = false;
+            for (AccountExecutor.Op op : ops) anyWithdraw |= op.getType() == AccountExecutor.Type.WITHDRAW;
+            double balance = anyWithdraw ? balanceOf(session, cardNumber) : 0;
+
+            // ops are applied in arrival order, so a deposit can fund a later withdrawal
+            boolean[] accepted = new boolean[ops.size()];
+            double delta = 0;
+            for (int i = 0; i < ops.size(); i++) {
+                AccountExecutor.Op op = ops.get(i);
+                if (op.getType() == AccountExecutor.Type.DEPOSIT) {
+                    delta += op.getAmount();
+                    accepted[i] = true;
+                } else if (balance >= 0 && balance + delta >= op.getAmount()) {
+                    delta -= op.getAmount();
+                    accepted[i] = true;
+                } else {
+                    System.out.println("Insufficient balance!");
+                }
+            }
+
+            if (delta != 0) {
+                PreparedStatement ps = session.prepare(UPDATE_BALANCE_SQL);
+                ps.setDouble(1, delta);
                 ps.setString(2, cardNumber);
                 ps.executeUpdate();
-                logTransaction(cardNumber, "withdraw", amount);
-                return true;
-            } else {
-                System.out.println("Insufficient balance!");
+            }
+
+            String[] hashes = new String[ops.size()];
+            PreparedStatement log = session.prepare(LOG_SQL);
+            boolean anyLogged = false;
+            for (int i = 0; i < ops.size(); i++) {
+                if (!accepted[i]) continue;
+                AccountExecutor.Op op = ops.get(i);
+                String type = op.getType() == AccountExecutor.Type.DEPOSIT ? "deposit" : "withdraw";
+                hashes[i] = txHash(cardNumber, type, op.getAmount(), i);
+                bindLog(log, hashes[i], cardNumber, type, op.getAmount());
+                log.addBatch();
+                anyLogged = true;
+            }
+            if (anyLogged) log.executeBatch();
+
+            conn.commit();
+            committed = true;
+            for (int i = 0; i < ops.size(); i++) {
+                ops.get(i).complete(accepted[i]);
+                if (accepted[i]) System.out.println("Transaction logged with hash: " + hashes[i]);
             }
         } catch (SQLException e) {
             e.printStackTrace();
+            connector.reportFailure(session, e);
+        } finally {
+            if (!committed) {
+                try {
+                    session.prepare(LOG_SQL).clearBatch();
+                    conn.rollback();
+                } catch (SQLException ignored) { } // connection already reported as broken
+            }
+            try { conn.setAutoCommit(true); } catch (SQLException ignored) { }
+            connector.release(session);
         }
-        return false;
     }
 
     @Override
-    public void deposit(String cardNumber, double amount) {
-        if (conn == null) return;
+    public void logTransaction(String cardNumber, String type, double amount) {
+        BankSession session = connector.acquire();
+        if (session == null) return;
         try {
-            String sql = "UPDATE accounts SET balance=balance+? WHERE card_number=?";
-            PreparedStatement ps = conn.prepareStatement(sql);
-            ps.setDouble(1, amount);
-            ps.setString(2, cardNumber);
+            String txHash = txHash(cardNumber, type, amount, 0);
+            PreparedStatement ps = session.prepare(LOG_SQL);
+            bindLog(ps, txHash, cardNumber, type, amount);
             ps.executeUpdate();
-            logTransaction(cardNumber, "deposit", amount);
-        } catch (SQLException e) {
+            System.out.println("Transaction logged with hash: " + txHash);
+        } catch (Exception e) {
             e.printStackTrace();
+        } finally {
+            connector.release(session);
         }
     }
 
-    @Override
-    public void logTransaction(String cardNumber, String type, double amount) {
-        if (conn == null) return;
+    // seq keeps hashes of identical ops in the same batch apart
+    private static String txHash(String cardNumber, String type, double amount, int seq) {
         try {
-            String txInput = cardNumber + type + amount + Instant.now().toString();
+            String txInput = cardNumber + type + amount + Instant.now().toString() + "#" + seq;
             MessageDigest md = MessageDigest.getInstance("SHA-256");
             StringBuilder sb = new StringBuilder();
             for (byte b : md.digest(txInput.getBytes())) sb.append(String.format("%02x", b));
-            String txHash = sb.toString();
-
-            String sql = "INSERT INTO transactions(tx_id, card_number, tx_type, amount, timestamp) VALUES(?,?,?,?,?)";
-            PreparedStatement ps = conn.prepareStatement(sql);
-            ps.setString(1, txHash);
-            ps.setString(2, cardNumber);
-            ps.setString(3, type);
-            ps.setDouble(4, amount);
-            ps.setTimestamp(5, Timestamp.from(Instant.now()));
-            ps.executeUpdate();
-
-            System.out.println("Transaction logged with hash: " + txHash);
-        } catch (Exception e) {
-            e.printStackTrace();
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
         }
     }
 
+    private static void bindLog(PreparedStatement ps, String txHash, String cardNumber, String type, double amount) throws SQLException {
+        ps.setString(1, txHash);
+        ps.setString(2, cardNumber);
+        ps.setString(3, type);
+        ps.setDouble(4, amount);
+        ps.setTimestamp(5, Timestamp.from(Instant.now()));
+    }
+
+    public BankConnector getConnector() { return connector; }
+
     // Close connection if needed
     public void closeConnection() {
-        try {
-            if (conn != null && !conn.isClosed()) {
-                conn.close();
-                System.out.println("Connection closed successfully.");
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+        connector.close();
     }
 }
@@ -1,18 +1,52 @@
 package transactions;
 
+import atm.CashInventory;
 import bank.BankProxy;
 
 public class WithdrawHandler extends TransactionHandler {
     private BankProxy bank;
+    private CashInventory cash;
 
-    public WithdrawHandler(BankProxy bank) { this.bank = bank; }
+    public WithdrawHandler(BankProxy bank, CashInventory cash) {
+        this.bank = bank;
+        this.cash = cash;
+    }
 
     @Override
     public void handleTransaction(String cardNumber, String type, double amount) {
         if (type.equalsIgnoreCase("withdraw")) {
-            if (bank.withdraw(cardNumber, amount))
-                System.out.println("Withdrawn: " + amount);
+            if (amount != Math.floor(amount) || (long) amount % cash.getUnit() != 0) {
+                System.out.println("Amount must be a multiple of " + cash.getUnit());
+                return;
+            }
+            // Hold the notes before touching the account so the debit is never left undispensable
+            CashInventory.Reservation notes = cash.reserve((long) amount);
+            if (notes == null) {
+                System.out.println("ATM cannot dispense this amount right now");
+                return;
+            }
+            boolean debited = false;
+            try {
+                debited = bank.withdraw(cardNumber, amount);
+            } finally {
+                // also runs if the bank call throws, so the notes are never lost
+                if (debited) cash.commit(notes);
+                else cash.release(notes);
+            }
+            if (debited) System.out.println("Withdrawn: " + amount + " " + describe(notes));
             else System.out.println("Insufficient Balance");
         } else if (nextHandler != null) nextHandler.handleTransaction(cardNumber, type, amount);
     }
+
+    private String describe(CashInventory.Reservation notes) {
+        int[] denominations = cash.getDenominations();
+        int[] counts = notes.getCounts();
+        StringBuilder sb = new StringBuilder("(");
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) continue;
+            if (sb.length() > 1) sb.append(", ");
+            sb.append(counts[i]).append(" x ").append(denominations[i]);
+        }
+        return sb.append(")").toString();
+    }
 }